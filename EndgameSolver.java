@@ -0,0 +1,451 @@
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Expectiminimax solver for two-player late-game positions.
+ *
+ * The search mirrors the rules in MonopolyGame.handleSpecialProperty() and
+ * MonopolyGame.calculateRent(): dice rolls, utility rent rolls and Chance /
+ * Community Chest draws are chance nodes, and buying the landed property is a
+ * decision node. A player wins when the other cannot cover a payment, which is
+ * when the game logs "is bankrupt!".
+ *
+ * This is a two-player model of a four-player game. Only the two chosen players
+ * take turns. Rent they pay on other players' squares leaves the search, and
+ * a birthday card also collects from the other players, but the other
+ * players' own turns (rent paid to the two, their card draws) are not
+ * modelled.
+ *
+ * Positions still open at the search horizon are scored from the net-worth
+ * gap, so the result is a score between 0 and 1, not a calibrated win
+ * probability.
+ *
+ * Results are stored in a bounded, least-recently-used transposition table
+ * keyed on a Zobrist hash of owners, positions, money and the player to move.
+ * Players take fixed slots by their order in the game, so a later query from
+ * a position the search has already visited reuses its cached subresults.
+ */
+public class EndgameSolver {
+    private static final int BOARD_SIZE = 40;
+    private static final int DICE_SIDES = 6;
+    private static final int JAIL_POSITION = 10;
+
+    // Horizon heuristic: a net-worth lead of this many dollars scores about 0.73.
+    // Not calibrated against played games; it only needs to rank positions.
+    private static final double EVAL_SCALE = 500.0;
+
+    // Owner slots used in the search state. Slots from FIRST_OUTSIDE_SLOT on
+    // belong to players outside the endgame, one slot each in turn order.
+    private static final int NO_OWNER = -1;
+    private static final int FIRST_OUTSIDE_SLOT = 2;
+
+    private final List<MonopolyGame.Player> players;
+    private final List<MonopolyGame.Property> board;
+    private final int maxDepth;
+    private final TranspositionTable table;
+
+    // Zobrist keys
+    private final long[][] ownerKeys;
+    private final long[][] positionKeys;
+    private final long[] moneyKeys;
+    private final long sideKey;
+
+    private long nodesSearched;
+
+    /**
+     * @param players       the game's players, in turn order
+     * @param board         the 40 board squares, in board order
+     * @param maxDepth      search horizon in turns
+     * @param tableCapacity maximum number of cached positions
+     */
+    public EndgameSolver(List<MonopolyGame.Player> players, List<MonopolyGame.Property> board,
+                         int maxDepth, int tableCapacity) {
+        if (board.size() != BOARD_SIZE) {
+            throw new IllegalArgumentException("Board must have " + BOARD_SIZE + " squares");
+        }
+        if (maxDepth < 1 || tableCapacity < 1) {
+            throw new IllegalArgumentException("Depth and table capacity must be positive");
+        }
+        this.players = players;
+        this.board = board;
+        this.maxDepth = maxDepth;
+        this.table = new TranspositionTable(tableCapacity);
+
+        // Fixed seed so hashes are stable between runs
+        Random random = new Random(0x5EED_2026L);
+        ownerKeys = new long[BOARD_SIZE][players.size()];
+        positionKeys = new long[2][BOARD_SIZE];
+        moneyKeys = new long[2];
+        for (int i = 0; i < BOARD_SIZE; i++) {
+            for (int j = 0; j < players.size(); j++) {
+                ownerKeys[i][j] = random.nextLong();
+            }
+            positionKeys[0][i] = random.nextLong();
+            positionKeys[1][i] = random.nextLong();
+        }
+        moneyKeys[0] = random.nextLong();
+        moneyKeys[1] = random.nextLong();
+        sideKey = random.nextLong();
+    }
+
+    /**
+     * Captures the two players and the board owners. Call this on the Swing
+     * thread; the snapshot can then be scored on any thread.
+     */
+    public Snapshot snapshot(MonopolyGame.Player player, MonopolyGame.Player opponent, boolean playerToMove) {
+        // The player earlier in turn order always takes slot 0
+        boolean swapped = players.indexOf(player) > players.indexOf(opponent);
+        MonopolyGame.Player first = swapped ? opponent : player;
+        MonopolyGame.Player second = swapped ? player : opponent;
+
+        // Give each outside player its own owner slot so rent counts stay per player
+        int[] ownerSlots = new int[players.size()];
+        int nextOutsideSlot = FIRST_OUTSIDE_SLOT;
+        for (int i = 0; i < players.size(); i++) {
+            MonopolyGame.Player p = players.get(i);
+            ownerSlots[i] = p == first ? 0 : p == second ? 1 : nextOutsideSlot++;
+        }
+
+        State state = new State();
+        state.outsidePlayers = players.size() - 2;
+        setPosition(state, 0, first.getPosition());
+        setPosition(state, 1, second.getPosition());
+        setMoney(state, 0, first.getMoney());
+        setMoney(state, 1, second.getMoney());
+        for (int i = 0; i < BOARD_SIZE; i++) {
+            MonopolyGame.Player owner = board.get(i).getOwner();
+            if (owner == null) continue;
+            setOwner(state, i, ownerSlots[players.indexOf(owner)]);
+        }
+        if (playerToMove == swapped) {
+            switchTurn(state);
+        }
+
+        return new Snapshot(state, swapped);
+    }
+
+    /**
+     * Returns the snapshot player's score between 0 (losing) and 1 (winning)
+     * at the solver's search horizon.
+     */
+    public synchronized double score(Snapshot snapshot) {
+        double value = search(snapshot.state.copy(), maxDepth);
+        return snapshot.swapped ? 1.0 - value : value;
+    }
+
+    public synchronized long getNodesSearched() {
+        return nodesSearched;
+    }
+
+    public synchronized int getCachedPositions() {
+        return table.size();
+    }
+
+    public synchronized void clearCache() {
+        table.clear();
+    }
+
+    // Value of a position at the start of a turn, as player 0's score
+    private double search(State state, int depth) {
+        nodesSearched++;
+        if (state.money[0] < 0) return 0.0;
+        if (state.money[1] < 0) return 1.0;
+        if (depth == 0) return evaluate(state);
+
+        Entry cached = table.get(state.hash);
+        if (cached != null && cached.depth >= depth) {
+            return cached.value;
+        }
+
+        // Chance node: two dice, only the total matters
+        double value = 0.0;
+        for (int total = 2; total <= 2 * DICE_SIDES; total++) {
+            State child = state.copy();
+            move(child, total);
+            value += diceWeight(total) * land(child, depth);
+        }
+
+        table.put(state.hash, new Entry(depth, value));
+        return value;
+    }
+
+    private void move(State state, int totalRoll) {
+        int player = state.toMove;
+        int newPosition = (state.positions[player] + totalRoll) % BOARD_SIZE;
+
+        // Check if player passes GO
+        if (newPosition < state.positions[player]) {
+            setMoney(state, player, state.money[player] + 200);
+        }
+        setPosition(state, player, newPosition);
+    }
+
+    // Mirrors handleSpecialProperty() for the square the player moved to
+    private double land(State state, int depth) {
+        int player = state.toMove;
+        int square = state.positions[player];
+        MonopolyGame.Property property = board.get(square);
+
+        switch (property.getType()) {
+            case GO_TO_JAIL:
+                setPosition(state, player, JAIL_POSITION);
+                return endTurn(state, depth);
+
+            case TAX:
+                pay(state, player, property.getName().contains("Income") ? 200 : 100);
+                return endTurn(state, depth);
+
+            case PROPERTY:
+            case RAILROAD:
+                int owner = state.owners[square];
+                if (owner != NO_OWNER && owner != player) {
+                    payRent(state, owner, calculateRent(state, square, 0));
+                }
+                return decideBuy(state, depth);
+
+            case UTILITY:
+                if (state.owners[square] != NO_OWNER && state.owners[square] != player) {
+                    // Utility rent rolls the dice again
+                    double value = 0.0;
+                    for (int total = 2; total <= 2 * DICE_SIDES; total++) {
+                        State child = state.copy();
+                        payRent(child, state.owners[square], calculateRent(state, square, total));
+                        value += diceWeight(total) * endTurn(child, depth);
+                    }
+                    return value;
+                }
+                return endTurn(state, depth);
+
+            case CHANCE:
+                return drawChance(state, depth);
+
+            case COMMUNITY_CHEST:
+                return drawCommunityChest(state, depth);
+
+            default:
+                return endTurn(state, depth);
+        }
+    }
+
+    // Mirrors calculateRent(); utilityRoll is the dice total for utility rent
+    private int calculateRent(State state, int square, int utilityRoll) {
+        MonopolyGame.Property property = board.get(square);
+        int owner = state.owners[square];
+
+        if (property.getType() == MonopolyGame.PropertyType.RAILROAD ||
+                property.getType() == MonopolyGame.PropertyType.UTILITY) {
+            int count = 0;
+            for (int i = 0; i < BOARD_SIZE; i++) {
+                if (board.get(i).getType() == property.getType() && state.owners[i] == owner) {
+                    count++;
+                }
+            }
+            if (property.getType() == MonopolyGame.PropertyType.RAILROAD) {
+                return 25 * (1 << (count - 1));
+            }
+            return count == 1 ? 4 * utilityRoll : 10 * utilityRoll;
+        }
+        // Basic rent is 10% of the property cost
+        return property.getCost() / 10;
+    }
+
+    // Decision node: the Buy Property button is only offered for unowned PROPERTY squares
+    private double decideBuy(State state, int depth) {
+        int player = state.toMove;
+        int square = state.positions[player];
+        MonopolyGame.Property property = board.get(square);
+
+        double pass = endTurn(state.copy(), depth);
+        if (property.getType() != MonopolyGame.PropertyType.PROPERTY ||
+                state.owners[square] != NO_OWNER ||
+                state.money[player] < property.getCost()) {
+            return pass;
+        }
+
+        State bought = state.copy();
+        setMoney(bought, player, bought.money[player] - property.getCost());
+        setOwner(bought, square, player);
+        double buy = endTurn(bought, depth);
+
+        return player == 0 ? Math.max(buy, pass) : Math.min(buy, pass);
+    }
+
+    // Mirrors handleChanceCard(): 10 cards, the last six have no effect
+    private double drawChance(State state, int depth) {
+        int player = state.toMove;
+
+        State toGo = state.copy();
+        setPosition(toGo, player, 0);
+        setMoney(toGo, player, toGo.money[player] + 200);
+
+        State toBoardwalk = state.copy();
+        setPosition(toBoardwalk, player, 39);
+
+        State fine = state.copy();
+        pay(fine, player, 50);
+
+        State bonus = state.copy();
+        setMoney(bonus, player, bonus.money[player] + 150);
+
+        return 0.1 * (endTurn(toGo, depth) + endTurn(toBoardwalk, depth) +
+                endTurn(fine, depth) + endTurn(bonus, depth)) +
+                0.6 * endTurn(state, depth);
+    }
+
+    // Mirrors handleCommunityChest(): 10 cards, the last seven have no effect
+    private double drawCommunityChest(State state, int depth) {
+        int player = state.toMove;
+        int opponent = 1 - player;
+
+        State bankError = state.copy();
+        setMoney(bankError, player, bankError.money[player] + 200);
+
+        State doctor = state.copy();
+        pay(doctor, player, 50);
+
+        // Birthday collects $50 from every other player. Outside players pay from
+        // money the search does not track, so they are never made bankrupt here.
+        State birthday = state.copy();
+        pay(birthday, opponent, 50);
+        setMoney(birthday, player, birthday.money[player] + 50 * (1 + birthday.outsidePlayers));
+
+        return 0.1 * (endTurn(bankError, depth) + endTurn(doctor, depth) + endTurn(birthday, depth)) +
+                0.7 * endTurn(state, depth);
+    }
+
+    private double endTurn(State state, int depth) {
+        switchTurn(state);
+        return search(state, depth - 1);
+    }
+
+    // Horizon estimate from the difference in net worth
+    private double evaluate(State state) {
+        int[] worth = {state.money[0], state.money[1]};
+        for (int i = 0; i < BOARD_SIZE; i++) {
+            if (state.owners[i] == 0 || state.owners[i] == 1) {
+                worth[state.owners[i]] += board.get(i).getCost();
+            }
+        }
+        return 1.0 / (1.0 + Math.exp((worth[1] - worth[0]) / EVAL_SCALE));
+    }
+
+    private static double diceWeight(int total) {
+        return (DICE_SIDES - Math.abs(total - DICE_SIDES - 1)) / (double) (DICE_SIDES * DICE_SIDES);
+    }
+
+    // A player who cannot cover a payment is bankrupt, marked by negative money
+    private void pay(State state, int player, int amount) {
+        setMoney(state, player, state.money[player] >= amount ? state.money[player] - amount : -1);
+    }
+
+    private void payRent(State state, int owner, int rent) {
+        int player = state.toMove;
+        boolean canPay = state.money[player] >= rent;
+        pay(state, player, rent);
+        if (canPay && owner < FIRST_OUTSIDE_SLOT) {
+            setMoney(state, owner, state.money[owner] + rent);
+        }
+    }
+
+    // State setters keep the Zobrist hash up to date
+
+    private void setPosition(State state, int player, int position) {
+        state.hash ^= positionKeys[player][state.positions[player]] ^ positionKeys[player][position];
+        state.positions[player] = position;
+    }
+
+    private void setMoney(State state, int player, int money) {
+        state.hash ^= moneyHash(player, state.money[player]) ^ moneyHash(player, money);
+        state.money[player] = money;
+    }
+
+    private void setOwner(State state, int square, int owner) {
+        if (state.owners[square] != NO_OWNER) state.hash ^= ownerKeys[square][state.owners[square]];
+        if (owner != NO_OWNER) state.hash ^= ownerKeys[square][owner];
+        state.owners[square] = owner;
+    }
+
+    private void switchTurn(State state) {
+        state.toMove = 1 - state.toMove;
+        state.hash ^= sideKey;
+    }
+
+    // Money is unbounded, so its keys are derived by mixing instead of read from a table
+    private long moneyHash(int player, int money) {
+        long z = moneyKeys[player] + money * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // Inner classes
+
+    private class State {
+        private final int[] positions = new int[2];
+        private final int[] money = new int[2];
+        private final int[] owners = new int[BOARD_SIZE];
+        private int toMove;
+        private long hash;
+        // Fixed by the solver's player list, so it is left out of the hash
+        private int outsidePlayers;
+
+        State() {
+            Arrays.fill(owners, NO_OWNER);
+            hash = moneyHash(0, 0) ^ moneyHash(1, 0) ^ positionKeys[0][0] ^ positionKeys[1][0];
+        }
+
+        private State(State other) {
+            System.arraycopy(other.positions, 0, positions, 0, 2);
+            System.arraycopy(other.money, 0, money, 0, 2);
+            System.arraycopy(other.owners, 0, owners, 0, BOARD_SIZE);
+            toMove = other.toMove;
+            hash = other.hash;
+            outsidePlayers = other.outsidePlayers;
+        }
+
+        State copy() {
+            return new State(this);
+        }
+    }
+
+    /** Players and board captured for one query. */
+    public class Snapshot {
+        private final State state;
+        private final boolean swapped;
+
+        private Snapshot(State state, boolean swapped) {
+            this.state = state;
+            this.swapped = swapped;
+        }
+    }
+
+    private static class Entry {
+        private final int depth;
+        private final double value;
+
+        Entry(int depth, double value) {
+            this.depth = depth;
+            this.value = value;
+        }
+    }
+
+    // Access-ordered map that evicts the least recently used position when full
+    private static class TranspositionTable extends LinkedHashMap<Long, Entry> {
+        private static final long serialVersionUID = 1L;
+
+        private final int capacity;
+
+        TranspositionTable(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+            return size() > capacity;
+        }
+    }
+}
@@ -0,0 +1,351 @@
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Streams game state to local viewers as compact binary frames.
+ *
+ * Each publish() compares the game with the last published state and emits a
+ * delta frame holding only the position, money, owner and turn changes. A full
+ * keyframe is sent every few frames. Frames are serialized once and every
+ * subscriber receives a read-only view of the same buffer. Late joiners are
+ * caught up from the latest keyframe and the deltas that followed it.
+ *
+ * Frames are delivered on a single background thread, so the game never runs
+ * viewer code. A subscriber that throws is dropped without affecting the rest.
+ */
+public class GameBroadcaster {
+    public static final byte KEYFRAME = 0;
+    public static final byte DELTA = 1;
+
+    // Change tags used in delta frames
+    private static final byte POSITION_CHANGE = 0;
+    private static final byte MONEY_CHANGE = 1;
+    private static final byte OWNER_CHANGE = 2;
+    private static final byte TURN_CHANGE = 3;
+
+    private static final int NO_OWNER = -1;
+
+    private final int keyframeInterval;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    // Delivers frames in publish order off the game thread
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "game-broadcast");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Subscribers removed after an error whose queued frames are still pending;
+    // only touched on the dispatcher thread
+    private final Set<Subscriber> dropped = new HashSet<>();
+
+    // Last published state, used to compute deltas
+    private int[] positions;
+    private int[] money;
+    private int[] owners;
+    private int currentPlayer;
+
+    // Latest keyframe and the deltas sent after it, for late joiners
+    private final List<ByteBuffer> replay = new ArrayList<>();
+    private int sequence;
+    private int framesSinceKeyframe;
+
+    public GameBroadcaster(int keyframeInterval) {
+        if (keyframeInterval < 1) {
+            throw new IllegalArgumentException("Keyframe interval must be positive");
+        }
+        this.keyframeInterval = keyframeInterval;
+    }
+
+    /**
+     * Receives frames in publish order on the broadcaster's delivery thread.
+     * Each call gets its own read-only view of a buffer that is shared with
+     * every other subscriber. Implementations should return quickly, since a
+     * slow viewer delays the viewers after it.
+     */
+    public interface Subscriber {
+        void onFrame(ByteBuffer frame);
+    }
+
+    /**
+     * Registers a viewer. It is first sent the latest keyframe and the deltas
+     * since, so it starts from the current game state.
+     */
+    public synchronized void subscribe(Subscriber subscriber) {
+        List<ByteBuffer> catchUp = new ArrayList<>(replay);
+        subscribers.add(subscriber);
+        dispatcher.execute(() -> {
+            dropped.remove(subscriber);
+            for (ByteBuffer frame : catchUp) {
+                deliver(subscriber, frame);
+            }
+        });
+    }
+
+    public void unsubscribe(Subscriber subscriber) {
+        subscribers.remove(subscriber);
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Publishes the changes since the last call. Nothing is sent if the state
+     * has not changed.
+     */
+    public synchronized void publish(List<MonopolyGame.Player> players, List<MonopolyGame.Property> properties,
+                                     int currentPlayerIndex) {
+        ByteBuffer frame;
+        if (positions == null || positions.length != players.size() ||
+                framesSinceKeyframe >= keyframeInterval) {
+            capture(players, properties, currentPlayerIndex);
+            frame = encodeKeyframe();
+            replay.clear();
+            framesSinceKeyframe = 0;
+        } else {
+            frame = encodeDelta(players, properties, currentPlayerIndex);
+            if (frame == null) return;
+            framesSinceKeyframe++;
+        }
+
+        replay.add(frame);
+        Subscriber[] targets = subscribers.toArray(new Subscriber[0]);
+        dispatcher.execute(() -> {
+            for (Subscriber subscriber : targets) {
+                deliver(subscriber, frame);
+            }
+        });
+    }
+
+    // A failing viewer is dropped so it cannot stop the others
+    private void deliver(Subscriber subscriber, ByteBuffer frame) {
+        if (dropped.contains(subscriber)) return;
+        try {
+            subscriber.onFrame(frame.asReadOnlyBuffer());
+        } catch (RuntimeException e) {
+            System.err.println("Dropping spectator after error: " + e.getMessage());
+            dropped.add(subscriber);
+            forget(subscriber);
+        }
+    }
+
+    // Frames queued before this point may still name the subscriber, so it is
+    // only released from dropped once they have been delivered
+    private synchronized void forget(Subscriber subscriber) {
+        subscribers.remove(subscriber);
+        dispatcher.execute(() -> dropped.remove(subscriber));
+    }
+
+    private void capture(List<MonopolyGame.Player> players, List<MonopolyGame.Property> properties,
+                         int currentPlayerIndex) {
+        positions = new int[players.size()];
+        money = new int[players.size()];
+        for (int i = 0; i < players.size(); i++) {
+            positions[i] = players.get(i).getPosition();
+            money[i] = players.get(i).getMoney();
+        }
+        owners = new int[properties.size()];
+        for (int i = 0; i < properties.size(); i++) {
+            owners[i] = getOwnerIndex(players, properties.get(i));
+        }
+        currentPlayer = currentPlayerIndex;
+    }
+
+    // Keyframe: type, sequence, player count, (position, money) per player, turn, owner per square
+    private ByteBuffer encodeKeyframe() {
+        ByteBuffer buffer = ByteBuffer.allocate(1 + 4 + 1 + positions.length * 5 + 1 + 1 + owners.length);
+        buffer.put(KEYFRAME).putInt(sequence++);
+        buffer.put((byte) positions.length);
+        for (int i = 0; i < positions.length; i++) {
+            buffer.put((byte) positions[i]).putInt(money[i]);
+        }
+        buffer.put((byte) currentPlayer);
+        buffer.put((byte) owners.length);
+        for (int owner : owners) {
+            buffer.put((byte) owner);
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    // Delta: type, sequence, change count, then tagged changes. Money is a zig-zag varint difference.
+    private ByteBuffer encodeDelta(List<MonopolyGame.Player> players, List<MonopolyGame.Property> properties,
+                                   int currentPlayerIndex) {
+        // Worst case: header, position and varint money per player, owner per square, turn
+        ByteBuffer buffer = ByteBuffer.allocate(1 + 4 + 1 + players.size() * 10 + properties.size() * 3 + 2);
+        buffer.position(1 + 4 + 1);
+        int changes = 0;
+
+        for (int i = 0; i < players.size(); i++) {
+            MonopolyGame.Player player = players.get(i);
+            if (player.getPosition() != positions[i]) {
+                positions[i] = player.getPosition();
+                buffer.put(POSITION_CHANGE).put((byte) i).put((byte) positions[i]);
+                changes++;
+            }
+            if (player.getMoney() != money[i]) {
+                buffer.put(MONEY_CHANGE).put((byte) i);
+                putVarInt(buffer, player.getMoney() - money[i]);
+                money[i] = player.getMoney();
+                changes++;
+            }
+        }
+        for (int i = 0; i < properties.size(); i++) {
+            int owner = getOwnerIndex(players, properties.get(i));
+            if (owner != owners[i]) {
+                owners[i] = owner;
+                buffer.put(OWNER_CHANGE).put((byte) i).put((byte) owner);
+                changes++;
+            }
+        }
+        if (currentPlayerIndex != currentPlayer) {
+            currentPlayer = currentPlayerIndex;
+            buffer.put(TURN_CHANGE).put((byte) currentPlayer);
+            changes++;
+        }
+
+        if (changes == 0) return null;
+
+        int length = buffer.position();
+        buffer.put(0, DELTA).putInt(1, sequence++).put(5, (byte) changes);
+
+        // Copy into an exactly sized buffer so retained frames stay small
+        ByteBuffer frame = ByteBuffer.allocate(length);
+        buffer.flip();
+        frame.put(buffer).flip();
+        return frame;
+    }
+
+    private static int getOwnerIndex(List<MonopolyGame.Player> players, MonopolyGame.Property property) {
+        return property.getOwner() == null ? NO_OWNER : players.indexOf(property.getOwner());
+    }
+
+    private static void putVarInt(ByteBuffer buffer, int value) {
+        int zigZag = (value << 1) ^ (value >> 31);
+        while ((zigZag & ~0x7F) != 0) {
+            buffer.put((byte) ((zigZag & 0x7F) | 0x80));
+            zigZag >>>= 7;
+        }
+        buffer.put((byte) zigZag);
+    }
+
+    private static int getVarInt(ByteBuffer buffer) {
+        int zigZag = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            zigZag |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return (zigZag >>> 1) ^ -(zigZag & 1);
+    }
+
+    // Inner classes
+
+    /**
+     * Viewer-side game state rebuilt from frames. Deltas received before the
+     * first keyframe, or after a gap in the sequence, are ignored until the
+     * next keyframe arrives. The state accessors throw IllegalStateException
+     * while the replica is not synced.
+     */
+    public static class Replica implements Subscriber {
+        private int[] positions;
+        private int[] money;
+        private int[] owners;
+        private int currentPlayer;
+        private int lastSequence = -1;
+        private boolean synced;
+
+        @Override
+        public void onFrame(ByteBuffer frame) {
+            byte type = frame.get();
+            int frameSequence = frame.getInt();
+
+            if (type == KEYFRAME) {
+                int playerCount = frame.get();
+                positions = new int[playerCount];
+                money = new int[playerCount];
+                for (int i = 0; i < playerCount; i++) {
+                    positions[i] = frame.get();
+                    money[i] = frame.getInt();
+                }
+                currentPlayer = frame.get();
+                owners = new int[frame.get()];
+                for (int i = 0; i < owners.length; i++) {
+                    owners[i] = frame.get();
+                }
+                synced = true;
+            } else if (synced && frameSequence == lastSequence + 1) {
+                int changes = frame.get();
+                for (int i = 0; i < changes; i++) {
+                    switch (frame.get()) {
+                        case POSITION_CHANGE:
+                            positions[frame.get()] = frame.get();
+                            break;
+                        case MONEY_CHANGE:
+                            int player = frame.get();
+                            money[player] += getVarInt(frame);
+                            break;
+                        case OWNER_CHANGE:
+                            owners[frame.get()] = frame.get();
+                            break;
+                        case TURN_CHANGE:
+                            currentPlayer = frame.get();
+                            break;
+                        default:
+                            throw new IllegalStateException("Unknown change tag in frame " + frameSequence);
+                    }
+                }
+            } else {
+                synced = false;
+            }
+            lastSequence = frameSequence;
+        }
+
+        public boolean isSynced() {
+            return synced;
+        }
+
+        public int getPosition(int player) {
+            checkSynced();
+            return positions[player];
+        }
+
+        public int getMoney(int player) {
+            checkSynced();
+            return money[player];
+        }
+
+        /** Returns the owning player's index, or -1 if the square is unowned. */
+        public int getOwner(int square) {
+            checkSynced();
+            return owners[square];
+        }
+
+        public int getCurrentPlayer() {
+            checkSynced();
+            return currentPlayer;
+        }
+
+        private void checkSynced() {
+            if (!synced) {
+                throw new IllegalStateException("Replica is waiting for a keyframe");
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "Replica{positions=" + Arrays.toString(positions) + ", money=" + Arrays.toString(money) +
+                    ", currentPlayer=" + currentPlayer + "}";
+        }
+    }
+}
@@ -8,6 +8,9 @@ public class MonopolyGame extends JFrame {
     private static final int BOARD_SIZE = 40;
     private static final int DICE_SIDES = 6;
     private static final int STARTING_MONEY = 1500;
+    private static final int ENDGAME_SEARCH_DEPTH = 4;
+    private static final int ENDGAME_CACHE_SIZE = 200000;
+    private static final int BROADCAST_KEYFRAME_INTERVAL = 20;
 
     private ArrayList<Player> players;
     private ArrayList<Property> properties;
@@ -17,9 +20,13 @@ public class MonopolyGame extends JFrame {
     private JButton rollDiceButton;
     private JButton buyPropertyButton;
     private JButton endTurnButton;
+    private JButton spectateButton;
     private Random random;
     private Color[] playerColors = {Color.RED, Color.BLUE, Color.GREEN, Color.ORANGE};
     private int previousPosition = 0; // To track player movement
+    private int turnNumber = 0; // Counts ended turns, to spot stale endgame scores
+    private EndgameSolver endgameSolver;
+    private GameBroadcaster broadcaster;
 
     public MonopolyGame() {
         super("Monopoly Game");
@@ -46,6 +53,12 @@ public class MonopolyGame extends JFrame {
         // Initialize properties
         properties = new ArrayList<>();
         initializeProperties();
+
+        // Shared across turns so cached positions are reused
+        endgameSolver = new EndgameSolver(players, properties, ENDGAME_SEARCH_DEPTH, ENDGAME_CACHE_SIZE);
+
+        // Spectators subscribe here to follow the game
+        broadcaster = new GameBroadcaster(BROADCAST_KEYFRAME_INTERVAL);
     }
 
     private void initializeProperties() {
@@ -117,12 +130,14 @@ public class MonopolyGame extends JFrame {
         rollDiceButton = new JButton("Roll Dice");
         buyPropertyButton = new JButton("Buy Property");
         endTurnButton = new JButton("End Turn");
+        spectateButton = new JButton("Spectate");
 
         buyPropertyButton.setEnabled(false);
 
         buttonPanel.add(rollDiceButton);
         buttonPanel.add(buyPropertyButton);
         buttonPanel.add(endTurnButton);
+        buttonPanel.add(spectateButton);
 
         // Player info panel
         JPanel playerInfoPanel = new JPanel(new GridLayout(1, players.size()));
@@ -143,6 +158,7 @@ public class MonopolyGame extends JFrame {
         rollDiceButton.addActionListener(e -> rollDice());
         buyPropertyButton.addActionListener(e -> buyProperty());
         endTurnButton.addActionListener(e -> endTurn());
+        spectateButton.addActionListener(e -> openSpectatorWindow());
 
         // Add components to the frame
         add(boardPanel, BorderLayout.CENTER);
@@ -508,6 +524,7 @@ public class MonopolyGame extends JFrame {
 
         // Move to the next player
         currentPlayerIndex = (currentPlayerIndex + 1) % players.size();
+        turnNumber++;
 
         // Reset buttons
         rollDiceButton.setEnabled(true);
@@ -518,6 +535,9 @@ public class MonopolyGame extends JFrame {
     }
 
     private void updateGameState() {
+        // Stream the changes to spectators
+        broadcaster.publish(players, properties, currentPlayerIndex);
+
         // Update the board
         initializeBoard();
 
@@ -573,7 +593,69 @@ public class MonopolyGame extends JFrame {
             }
             logGameEvent(sb.substring(0, sb.length() - 2));
         }
+
+        // Score the endgame at the start of a turn once all property is held by two players
+        if (rollDiceButton.isEnabled()) {
+            Player opponent = getEndgameOpponent(currentPlayer);
+            if (opponent != null) {
+                logEndgameScore(currentPlayer, opponent);
+            }
+        }
+    }
+
+    // Returns the only other property owner, or null if property is not split between exactly two players
+    private Player getEndgameOpponent(Player player) {
+        if (player.getOwnedProperties().isEmpty()) return null;
+
+        Player opponent = null;
+        for (Property p : properties) {
+            Player owner = p.getOwner();
+            if (owner == null || owner == player) continue;
+            if (opponent != null && owner != opponent) return null;
+            opponent = owner;
+        }
+        return opponent;
+    }
+
+    private void logEndgameScore(Player player, Player opponent) {
+        // Snapshot on the Swing thread, search in the background
+        EndgameSolver.Snapshot snapshot = endgameSolver.snapshot(player, opponent, true);
+        int scoredTurn = turnNumber;
+        new SwingWorker<Double, Void>() {
+            @Override
+            protected Double doInBackground() {
+                return endgameSolver.score(snapshot);
+            }
+
+            @Override
+            protected void done() {
+                // Drop the score if the player has already rolled or the turn has ended
+                if (turnNumber != scoredTurn || !rollDiceButton.isEnabled()) return;
+
+                try {
+                    logGameEvent(String.format("Endgame score for %s vs %s: %.2f " +
+                                    "(two-player model, other players' turns ignored)",
+                            player.getName(), opponent.getName(), get()));
+                } catch (Exception e) {
+                    System.err.println("Error scoring endgame: " + e.getMessage());
+                }
+            }
+        }.execute();
+    }
+
+    private void openSpectatorWindow() {
+        // Spectators only receive indexes, so give them the names up front
+        List<String> playerNames = new ArrayList<>();
+        for (Player player : players) {
+            playerNames.add(player.getName());
+        }
+        List<String> squareNames = new ArrayList<>();
+        for (Property property : properties) {
+            squareNames.add(property.getName());
+        }
+        new SpectatorWindow(broadcaster, playerNames, squareNames);
     }
+
     private void logGameEvent(String event) {
         gameLog.append(event + "\n");
         // Scroll to the bottom
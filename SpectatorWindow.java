@@ -0,0 +1,68 @@
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Read-only view of a running game, rebuilt from broadcast frames by a
+ * GameBroadcaster.Replica. Any number of windows can follow the same game.
+ */
+public class SpectatorWindow implements GameBroadcaster.Subscriber {
+    private final GameBroadcaster.Replica replica = new GameBroadcaster.Replica();
+    private final List<String> playerNames;
+    private final List<String> squareNames;
+    private final JTextArea stateView;
+
+    public SpectatorWindow(GameBroadcaster broadcaster, List<String> playerNames, List<String> squareNames) {
+        this.playerNames = playerNames;
+        this.squareNames = squareNames;
+
+        JFrame frame = new JFrame("Monopoly Spectator");
+        frame.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+        frame.setSize(400, 500);
+
+        stateView = new JTextArea("Waiting for the next keyframe...");
+        stateView.setEditable(false);
+        stateView.setFont(new Font("Monospaced", Font.PLAIN, 12));
+        frame.add(new JScrollPane(stateView));
+
+        // Stop receiving frames once the window is gone
+        frame.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                broadcaster.unsubscribe(SpectatorWindow.this);
+            }
+        });
+
+        broadcaster.subscribe(this);
+        frame.setVisible(true);
+    }
+
+    @Override
+    public void onFrame(ByteBuffer frame) {
+        // Runs on the broadcast thread; only the finished text goes to the Swing thread
+        replica.onFrame(frame);
+        if (!replica.isSynced()) return;
+
+        String text = describeState();
+        SwingUtilities.invokeLater(() -> stateView.setText(text));
+    }
+
+    private String describeState() {
+        StringBuilder sb = new StringBuilder("Current Turn: ")
+                .append(playerNames.get(replica.getCurrentPlayer())).append("\n\n");
+
+        for (int i = 0; i < playerNames.size(); i++) {
+            sb.append(playerNames.get(i)).append(": $").append(replica.getMoney(i))
+                    .append(" on ").append(squareNames.get(replica.getPosition(i))).append("\n");
+            for (int square = 0; square < squareNames.size(); square++) {
+                if (replica.getOwner(square) == i) {
+                    sb.append("    owns ").append(squareNames.get(square)).append("\n");
+                }
+            }
+        }
+        return sb.toString();
+    }
+}